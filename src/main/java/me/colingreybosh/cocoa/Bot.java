@@ -2,6 +2,7 @@ package me.colingreybosh.cocoa;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -22,16 +23,19 @@ public class Bot {
     private final String token;
     private final Set<Object> listeners;
     private final Set<GatewayIntent> intents;
+    private final EventDispatcher dispatcher;
     
     /*
      * Abstraction Function:
-     *   AF(token, listeners, intents) = a bot running on the Discord application denoted by the `token`
-     *                                   with all the listener methods in `listeners` that operates with
-     *                                   all intent flags in `intents` enabled along with JDA's default
-     *                                   intents.
+     *   AF(token, listeners, intents, dispatcher) = a bot running on the Discord application denoted by
+     *                                               the `token` with all the listener methods in `listeners`
+     *                                               and all the handlers registered with `dispatcher` that
+     *                                               operates with all intent flags in `intents` enabled along
+     *                                               with JDA's default intents.
      *   
      * Representation Invariant:
      *   the entries of listeners and intents are non-null
+     *   dispatcher is non-null and is not an entry of listeners
      * 
      * Safety From Representation Exposure:
      *   all fields are private and final
@@ -49,6 +53,7 @@ public class Bot {
         this.token = token;
         this.listeners = new HashSet<>();
         this.intents = new HashSet<>(Set.of(GatewayIntent.GUILD_MEMBERS));
+        this.dispatcher = new EventDispatcher();
         checkRep();
     }
     
@@ -56,6 +61,7 @@ public class Bot {
         this.token = token;
         this.listeners = new HashSet<>(listeners);
         this.intents = new HashSet<>(Set.of(GatewayIntent.GUILD_MEMBERS));
+        this.dispatcher = new EventDispatcher();
         checkRep();
     }
     
@@ -63,6 +69,18 @@ public class Bot {
         this.token = token;
         this.listeners = new HashSet<>(listeners);
         this.intents = new HashSet<>(intents);
+        this.dispatcher = new EventDispatcher();
+        checkRep();
+    }
+    
+    public Bot(String token, List<EventHandler<?>> handlers, Set<GatewayIntent> intents) {
+        this.token = token;
+        this.listeners = new HashSet<>();
+        this.intents = new HashSet<>(intents);
+        this.dispatcher = new EventDispatcher();
+        for (EventHandler<?> handler : handlers) {
+            dispatcher.addHandler(handler);
+        }
         checkRep();
     }
     
@@ -92,6 +110,8 @@ public class Bot {
        for (Object intent : intents) {
            assert intent != null;
        }
+       assert dispatcher != null;
+       assert !listeners.contains(dispatcher);
     }
     
     /**
@@ -108,8 +128,10 @@ public class Bot {
             jdaBuilder.enableIntents(intents);
         }
         if (!listeners.isEmpty()) {
-            jdaBuilder.addEventListeners(listeners);
+            jdaBuilder.addEventListeners(listeners.toArray());
         }
+        // always registered so that handlers added after start() still receive events
+        jdaBuilder.addEventListeners(dispatcher);
         return jdaBuilder.build().awaitReady();
     }
     
@@ -143,6 +165,27 @@ public class Bot {
         return Collections.unmodifiableSet(listeners);
     }
     
+    /**
+     * Add an event handler to this bot. Unlike a listener, a handler is only invoked
+     * for events of its declared type that pass its filter.
+     * 
+     * @param handler The handler to add
+     */
+    public void addHandler(EventHandler<?> handler) {
+        dispatcher.addHandler(handler);
+        checkRep();
+    }
+    
+    /**
+     * Get an unmodifiable view of this bot's event handlers, in registration order.
+     * Each handler reports how often it ran and how long it took.
+     * 
+     * @return This bot's handlers
+     */
+    public List<EventHandler<?>> getHandlers() {
+        return dispatcher.getHandlers();
+    }
+    
     /**
      * Add an intent to this bot.
      * 
@@ -181,7 +224,8 @@ public class Bot {
     public boolean sameValue(Bot that) {
         return getToken().equals(that.getToken()) 
                 && getListeners().equals(that.getListeners())
-                && getIntents().equals(that.getIntents());
+                && getIntents().equals(that.getIntents())
+                && getHandlers().equals(that.getHandlers());
     }
     
     /**
@@ -189,7 +233,7 @@ public class Bot {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(token, listeners, intents);
+        return Objects.hash(token, listeners, intents, getHandlers());
     }
     
     /**
@@ -197,6 +241,6 @@ public class Bot {
      */
     @Override
     public String toString() {
-        return String.format("[Bot %s, %s, %s]", token, listeners, intents);
+        return String.format("[Bot %s, %s, %s, %s]", token, listeners, intents, getHandlers());
     }
 }
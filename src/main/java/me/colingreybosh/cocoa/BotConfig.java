@@ -0,0 +1,215 @@
+package me.colingreybosh.cocoa;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * An immutable ADT representing a snapshot of the bot's runtime configuration.
+ *
+ * Configuration files are Java properties files with the following keys, each of which
+ * falls back to its value in {@link Constants} when absent. A file must set at least one
+ * of them, so that an empty file is not mistaken for the defaults:
+ *
+ *   cocoa.regex    the pattern counted in chat messages (COCOA_REGEX)
+ *   data.path      the path to the file holding guild member data (PATH_TO_DATA)
+ *   flush.interval how often counts are written to the data file, as an ISO-8601 duration
+ *                  such as PT30S (FLUSH_INTERVAL)
+ *   command        the chat command that triggers the bot's response (COMMAND)
+ *
+ * @author Colin Greybosh
+ *
+ */
+public final class BotConfig {
+
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+    private static final Set<String> KEYS = Set.of("cocoa.regex", "data.path", "flush.interval", "command");
+
+    private final Pattern cocoaRegex;
+    private final String pathToData;
+    private final Duration flushInterval;
+    private final String command;
+
+    /*
+     * Abstraction Function
+     *   AF(cocoaRegex, pathToData, flushInterval, command) = a configuration that counts matches of
+     *                                                        `cocoaRegex`, stores counts at `pathToData`
+     *                                                        every `flushInterval`, and responds to the
+     *                                                        chat command `command`
+     *
+     * Representation Invariant
+     *   all fields are non-null
+     *   pathToData and command are non-empty
+     *   flushInterval is positive
+     *
+     * Safety from representation exposure
+     *   all fields are private and final
+     *   all fields are immutable
+     */
+
+    /**
+     * Create a configuration, validating every value.
+     *
+     * @param cocoaRegex The pattern counted in chat messages
+     * @param pathToData The path to the file holding guild member data
+     * @param flushInterval How often counts are written to the data file
+     * @param command The chat command that triggers the bot's response
+     * @throws IllegalArgumentException If any value is missing or invalid
+     */
+    public BotConfig(Pattern cocoaRegex, String pathToData, Duration flushInterval, String command) {
+        if (cocoaRegex == null) {
+            throw new IllegalArgumentException("cocoa.regex is required");
+        }
+        if (pathToData == null || pathToData.isBlank()) {
+            throw new IllegalArgumentException("data.path must be non-empty");
+        }
+        if (flushInterval == null || flushInterval.isZero() || flushInterval.isNegative()) {
+            throw new IllegalArgumentException("flush.interval must be positive: " + flushInterval);
+        }
+        if (command == null || command.isBlank()) {
+            throw new IllegalArgumentException("command must be non-empty");
+        }
+        this.cocoaRegex = cocoaRegex;
+        this.pathToData = pathToData;
+        this.flushInterval = flushInterval;
+        this.command = command;
+        checkRep();
+    }
+
+    private void checkRep() {
+        assert cocoaRegex != null;
+        assert pathToData != null && !pathToData.isEmpty();
+        assert flushInterval != null && !flushInterval.isZero() && !flushInterval.isNegative();
+        assert command != null && !command.isEmpty();
+    }
+
+    /**
+     * Get the configuration built into this bot.
+     *
+     * @return A configuration equivalent to the values in {@link Constants}
+     */
+    public static BotConfig defaults() {
+        return new BotConfig(Constants.COCOA_REGEX, Constants.PATH_TO_DATA, Constants.FLUSH_INTERVAL, Constants.COMMAND);
+    }
+
+    /**
+     * Parse and validate a configuration file.
+     *
+     * @param path The path to a properties file
+     * @return The configuration described by the file
+     * @throws IOException If the file cannot be read
+     * @throws IllegalArgumentException If the file sets none of the keys or contains an invalid value
+     */
+    public static BotConfig parse(Path path) throws IOException {
+        final Properties properties = new Properties();
+        try (final Reader reader = Files.newBufferedReader(path, CHARSET)) {
+            properties.load(reader);
+        }
+        if (properties.stringPropertyNames().stream().noneMatch(KEYS::contains)) {
+            throw new IllegalArgumentException("config sets none of " + KEYS);
+        }
+        final BotConfig defaults = defaults();
+        final Pattern cocoaRegex;
+        try {
+            final String regex = properties.getProperty("cocoa.regex");
+            cocoaRegex = regex == null ? defaults.getCocoaRegex() : Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("cocoa.regex is not a valid pattern: " + e.getMessage(), e);
+        }
+        final Duration flushInterval;
+        try {
+            final String interval = properties.getProperty("flush.interval");
+            flushInterval = interval == null ? defaults.getFlushInterval() : Duration.parse(interval.strip());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("flush.interval is not an ISO-8601 duration: " + e.getMessage(), e);
+        }
+        return new BotConfig(cocoaRegex,
+                properties.getProperty("data.path", defaults.getPathToData()).strip(),
+                flushInterval,
+                properties.getProperty("command", defaults.getCommand()).strip());
+    }
+
+    /**
+     * Get the pattern counted in chat messages.
+     *
+     * @return The compiled pattern
+     */
+    public Pattern getCocoaRegex() {
+        return cocoaRegex;
+    }
+
+    /**
+     * Get the path to the file holding guild member data.
+     *
+     * @return The path to the data file
+     */
+    public String getPathToData() {
+        return pathToData;
+    }
+
+    /**
+     * Get how often counts are written to the data file.
+     *
+     * @return The flush interval
+     */
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Get the chat command that triggers the bot's response.
+     *
+     * @return The chat command
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object that) {
+        return that instanceof BotConfig && sameValue((BotConfig) that);
+    }
+
+    /**
+     * Checks for equality between this configuration and another.
+     * Patterns are compared by their source and flags.
+     *
+     * @param that Another configuration
+     * @return {@code true} if this configuration and {@code that} are observationally equal
+     */
+    public boolean sameValue(BotConfig that) {
+        return cocoaRegex.pattern().equals(that.cocoaRegex.pattern())
+                && cocoaRegex.flags() == that.cocoaRegex.flags()
+                && pathToData.equals(that.pathToData)
+                && flushInterval.equals(that.flushInterval)
+                && command.equals(that.command);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(cocoaRegex.pattern(), cocoaRegex.flags(), pathToData, flushInterval, command);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("[BotConfig %s, %s, %s, %s]", cocoaRegex, pathToData, flushInterval, command);
+    }
+}
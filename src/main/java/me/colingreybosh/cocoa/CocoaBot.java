@@ -1,9 +1,16 @@
 package me.colingreybosh.cocoa;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import javax.security.auth.login.LoginException;
 
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.api.requests.GatewayIntent;
 
 /**
@@ -15,13 +22,74 @@ import net.dv8tion.jda.api.requests.GatewayIntent;
  */
 public class CocoaBot extends Bot {
     
+    private final CocoaBotListener listener;
+    
     public CocoaBot(String token) {
-        super(token, Set.of(new CocoaBotListener()), Set.of(GatewayIntent.GUILD_MEMBERS));
+        this(token, BotConfig::defaults);
+    }
+    
+    /**
+     * Create a bot whose listener reads its configuration from {@code config}
+     * each time it handles a message.
+     * 
+     * @param token A Discord bot application token
+     * @param config A source of configuration snapshots
+     */
+    public CocoaBot(String token, Supplier<BotConfig> config) {
+        this(token, new CocoaBotListener(config));
+    }
+    
+    private CocoaBot(String token, CocoaBotListener listener) {
+        super(token, List.of(new EventHandler<>("cocoa", MessageReceivedEvent.class,
+                listener::onMessageReceived).skipBots()),
+                Set.of(GatewayIntent.GUILD_MEMBERS));
+        this.listener = listener;
+    }
+    
+    /**
+     * Get the duplicate message filter used by this bot's listener.
+     * 
+     * @return This bot's deduplicator
+     */
+    public MessageDeduplicator getDeduplicator() {
+        return listener.getDeduplicator();
+    }
+    
+    /**
+     * Print the lookups, hits and hit rate of this bot's duplicate message filter.
+     */
+    public void reportDeduplication() {
+        final MessageDeduplicator deduplicator = getDeduplicator();
+        System.err.println(String.format("Duplicate filter: %d lookups, %d hits, %.4f%% hit rate",
+                deduplicator.getLookups(), deduplicator.getHits(), deduplicator.getHitRate() * 100));
     }
     
     public static void main(String[] arguments) {
         final String token = arguments[0];
-        final CocoaBot bot = new CocoaBot(token);
+        final CocoaBot bot;
+        if (arguments.length > 1) {
+            /*
+             * Watch the config file so that changes take effect without
+             * reconnecting to Discord.
+             */
+            try {
+                bot = new CocoaBot(token, new ConfigWatcher(arguments[1]));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Failed to load config " + arguments[1]);
+                e.printStackTrace();
+                return;
+            }
+        } else {
+            bot = new CocoaBot(token);
+        }
+        final ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "dedup-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long reportMillis = Constants.DEDUP_REPORT_INTERVAL.toMillis();
+        reporter.scheduleAtFixedRate(bot::reportDeduplication, reportMillis, reportMillis, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(bot::reportDeduplication, "dedup-report-on-exit"));
         try {
             bot.start();
         } catch (LoginException | IllegalArgumentException | InterruptedException e) {
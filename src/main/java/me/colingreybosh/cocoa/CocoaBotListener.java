@@ -1,15 +1,55 @@
 package me.colingreybosh.cocoa;
 
+import java.util.function.Supplier;
+
 import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
-import net.dv8tion.jda.api.hooks.ListenerAdapter;
 
-public class CocoaBotListener extends ListenerAdapter {
-    @Override
+/**
+ * Handles the chat messages CocoaBot responds to. Registered with the bot as an
+ * {@link EventHandler} rather than as a JDA listener.
+ */
+public class CocoaBotListener {
+    
+    private final MessageDeduplicator deduplicator = new MessageDeduplicator(Constants.DEDUP_MEMORY_BYTES,
+            Constants.DEDUP_FALSE_POSITIVE_RATE, Constants.DEDUP_WINDOW, Constants.DEDUP_PARTITIONS);
+    private final Supplier<BotConfig> config;
+    
+    /**
+     * Create a listener using the configuration built into this bot.
+     */
+    public CocoaBotListener() {
+        this(BotConfig::defaults);
+    }
+    
+    /**
+     * Create a listener that reads its configuration from {@code config}.
+     * 
+     * @param config A source of configuration snapshots, such as a {@link ConfigWatcher}
+     */
+    public CocoaBotListener(Supplier<BotConfig> config) {
+        this.config = config;
+    }
+    
+    /**
+     * Respond to a chat message. Messages written by bots are filtered out by
+     * the handler this listener is registered with, so they never reach here.
+     * 
+     * @param event A message received from a guild or private channel
+     */
     public void onMessageReceived(MessageReceivedEvent event) {
-        if (event.getAuthor().isBot()) {
+        /*
+         * Read the configuration once so that a reload while this message
+         * is being handled does not affect it.
+         */
+        final BotConfig snapshot = config.get();
+        if (deduplicator.isDuplicate(event.getMessageIdLong())) {
+            /*
+             * The same message can be delivered again after a reconnect or resume,
+             * so only act on the first delivery.
+             */
             return;
-        } else if (event.getMessage().getContentRaw().equals("!cocoa")) {
+        } else if (event.getMessage().getContentRaw().equals(snapshot.getCommand())) {
             /*
              * Chat command !cocoa
              * 
@@ -17,7 +57,7 @@ public class CocoaBotListener extends ListenerAdapter {
              */
             final MessageChannel channel = event.getChannel();
             channel.sendMessage("☕ COOOOOOOOOOOCOOOOOOOOOOOOOOOOAAAAAAAA!!! ☕").queue();
-        } else if (event.getMessage().getContentRaw().matches(/* TODO */ "")) {
+        } else if (snapshot.getCocoaRegex().matcher(event.getMessage().getContentRaw()).find()) {
             /*
              * Scans chat to count for instances of Regex matches
              * Keeps track of the number of matches
@@ -25,4 +65,13 @@ public class CocoaBotListener extends ListenerAdapter {
             // TODO implement
         }
     }
+    
+    /**
+     * Get the duplicate message filter used by this listener.
+     * 
+     * @return This listener's deduplicator
+     */
+    public MessageDeduplicator getDeduplicator() {
+        return deduplicator;
+    }
 }
@@ -0,0 +1,191 @@
+package me.colingreybosh.cocoa;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Mutable ADT that keeps a {@link BotConfig} in sync with a configuration file while
+ * the bot is running.
+ *
+ * A background thread watches the file's directory and re-parses the file whenever it is
+ * created or modified, waiting until the file has stopped changing so that a partially
+ * written file is not read. Replacing the file with an atomic move avoids partial reads
+ * entirely. A new configuration only replaces the current one once it has been
+ * parsed and validated in full; if the file is invalid, the current configuration is kept.
+ * Callers should read the configuration once per unit of work with {@link #get()}, so that
+ * work already in progress finishes against the snapshot it started with.
+ *
+ * @author Colin Greybosh
+ *
+ */
+public class ConfigWatcher implements Supplier<BotConfig>, AutoCloseable {
+
+    private static final long SETTLE_MILLIS = 200;
+
+    private final Path path;
+    private final WatchService watchService;
+    private final AtomicReference<BotConfig> current;
+    private final Thread thread;
+
+    /*
+     * Abstraction Function
+     *   AF(path, watchService, current, thread) = the most recent valid configuration read from
+     *                                             the file at `path`, kept up to date by `thread`
+     *                                             using events from `watchService`
+     *
+     * Representation Invariant
+     *   all fields are non-null
+     *   current holds a non-null configuration
+     *
+     * Safety from representation exposure
+     *   all fields are private and final
+     *   configurations are immutable
+     */
+
+    /**
+     * Load the configuration at {@code pathToConfig} and start watching it for changes.
+     *
+     * @param pathToConfig The path to a configuration file, as described in {@link BotConfig}
+     * @throws IOException If the file cannot be read or its directory cannot be watched
+     * @throws IllegalArgumentException If the file sets none of the keys or contains an invalid value
+     */
+    public ConfigWatcher(String pathToConfig) throws IOException {
+        path = Paths.get(pathToConfig).toAbsolutePath();
+        current = new AtomicReference<>(BotConfig.parse(path));
+        watchService = path.getFileSystem().newWatchService();
+        try {
+            path.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        } catch (IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+        thread = new Thread(this::watch, "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        checkRep();
+    }
+
+    private void checkRep() {
+        assert path != null;
+        assert watchService != null;
+        assert current.get() != null;
+        assert thread != null;
+    }
+
+    /**
+     * Process file system events until this watcher is closed.
+     */
+    private void watch() {
+        final long settleNanos = TimeUnit.MILLISECONDS.toNanos(SETTLE_MILLIS);
+        try {
+            boolean pending = false;
+            long lastChange = 0;
+            while (true) {
+                /*
+                 * Reload once the config file has gone SETTLE_MILLIS without changing,
+                 * regardless of events for other files in the same directory.
+                 */
+                final WatchKey key;
+                if (!pending) {
+                    key = watchService.take();
+                } else {
+                    final long remaining = lastChange + settleNanos - System.nanoTime();
+                    if (remaining <= 0) {
+                        reload();
+                        pending = false;
+                        continue;
+                    }
+                    key = watchService.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (key == null) {
+                        continue;
+                    }
+                }
+                if (isChange(key)) {
+                    pending = true;
+                    lastChange = System.nanoTime();
+                }
+                if (!key.reset()) {
+                    System.err.println("Config directory is no longer accessible, keeping " + current.get());
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            return;
+        }
+    }
+
+    /**
+     * Check whether any of the events on {@code key} may have changed the configuration file.
+     *
+     * @param key A signalled watch key
+     * @return {@code true} if the configuration file was created or modified, or events were lost
+     */
+    private boolean isChange(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || path.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Re-read the configuration file, replacing the current configuration if the file is valid.
+     *
+     * @return {@code true} if the configuration was replaced
+     */
+    public synchronized boolean reload() {
+        try {
+            final BotConfig next = BotConfig.parse(path);
+            final BotConfig previous = current.getAndSet(next);
+            if (!previous.equals(next)) {
+                System.err.println("Reloaded config: " + next);
+            }
+            checkRep();
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring invalid config " + path + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Get the current configuration.
+     *
+     * @return The most recent valid configuration
+     */
+    @Override
+    public BotConfig get() {
+        return current.get();
+    }
+
+    /**
+     * Stop watching the configuration file.
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "(ConfigWatcher " + path + ")";
+    }
+}
@@ -1,5 +1,6 @@
 package me.colingreybosh.cocoa;
 
+import java.time.Duration;
 import java.util.regex.Pattern;
 
 /**
@@ -9,4 +10,14 @@ public final class Constants {
     public static final Pattern COCOA_REGEX = Pattern.compile("[cC]+[oO]+[cC]+[oO]+[aA]+");
     // Fill in with path to file holding guild member data
     public static final String PATH_TO_DATA = "./src/main/java/me/colingreybosh/cocoa/tables/members.dt"; 
+    // How often counts are written to the data file
+    public static final Duration FLUSH_INTERVAL = Duration.ofSeconds(30);
+    // Chat command that triggers the bot's response
+    public static final String COMMAND = "!cocoa";
+    // Duplicate message suppression: 1 MiB of filters covering the last hour in 10 minute windows
+    public static final long DEDUP_MEMORY_BYTES = 1 << 20;
+    public static final double DEDUP_FALSE_POSITIVE_RATE = 0.001;
+    public static final Duration DEDUP_WINDOW = Duration.ofMinutes(10);
+    public static final int DEDUP_PARTITIONS = 6;
+    public static final Duration DEDUP_REPORT_INTERVAL = Duration.ofMinutes(10);
 }
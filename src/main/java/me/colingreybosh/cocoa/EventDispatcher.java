@@ -0,0 +1,139 @@
+package me.colingreybosh.cocoa;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+
+/**
+ * A mutable ADT representing a single JDA listener that routes each gateway event
+ * only to the {@link EventHandler}s registered for that event's type.
+ *
+ * The handlers for each concrete event class are resolved once, the first time an
+ * event of that class is seen, and kept in a table so that later events of the same
+ * class are dispatched without checking every handler. Registering a handler clears
+ * the table.
+ *
+ * @author Colin Greybosh
+ *
+ */
+public class EventDispatcher implements EventListener {
+
+    private static final EventHandler<?>[] NO_HANDLERS = new EventHandler<?>[0];
+
+    private final List<EventHandler<?>> handlers;
+    private final Map<Class<?>, EventHandler<?>[]> table;
+
+    /*
+     * Abstraction Function:
+     *   AF(handlers, table) = a listener that passes every event to each handler in `handlers`
+     *                         whose event type the event is an instance of, in registration order,
+     *                         where table[c] caches those handlers for events of class c
+     *
+     * Representation Invariant:
+     *   the entries of handlers are non-null
+     *   for every class c in table, table[c] contains exactly the handlers h in `handlers`
+     *   with h.getEventType().isAssignableFrom(c), in registration order
+     *
+     * Safety From Representation Exposure:
+     *   all fields are private and final
+     *   handlers is returned within an unmodifiable wrapper
+     *   the arrays in table are never returned
+     */
+
+    /**
+     * Create a new dispatcher with no handlers.
+     */
+    public EventDispatcher() {
+        this.handlers = new CopyOnWriteArrayList<>();
+        this.table = new ConcurrentHashMap<>();
+        checkRep();
+    }
+
+    /**
+     * Asserts the representation invariant.
+     */
+    private void checkRep() {
+        for (EventHandler<?> handler : handlers) {
+            assert handler != null;
+        }
+    }
+
+    /**
+     * Register a handler with this dispatcher.
+     *
+     * @param handler The handler to add
+     */
+    public synchronized void addHandler(EventHandler<?> handler) {
+        handlers.add(handler);
+        table.clear();
+        checkRep();
+    }
+
+    /**
+     * Get an unmodifiable view of this dispatcher's handlers, in registration order.
+     *
+     * @return This dispatcher's handlers
+     */
+    public List<EventHandler<?>> getHandlers() {
+        return Collections.unmodifiableList(handlers);
+    }
+
+    /**
+     * Pass {@code event} to every handler registered for its type. A handler that throws
+     * does not prevent the remaining handlers from running.
+     *
+     * @param event A gateway event
+     */
+    @Override
+    public void onEvent(GenericEvent event) {
+        for (EventHandler<?> handler : handlersFor(event.getClass())) {
+            try {
+                handler.handle(event);
+            } catch (RuntimeException e) {
+                System.err.println("Handler " + handler.getName() + " failed on " + event.getClass().getSimpleName());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Get the handlers registered for events of class {@code eventClass}, resolving and
+     * caching them if this is the first event of that class.
+     *
+     * @param eventClass The concrete class of an event
+     * @return The handlers whose event type is a supertype of {@code eventClass}
+     */
+    private EventHandler<?>[] handlersFor(Class<?> eventClass) {
+        final EventHandler<?>[] cached = table.get(eventClass);
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (this) {
+            return table.computeIfAbsent(eventClass, this::resolve);
+        }
+    }
+
+    private EventHandler<?>[] resolve(Class<?> eventClass) {
+        final List<EventHandler<?>> result = new ArrayList<>();
+        for (EventHandler<?> handler : handlers) {
+            if (handler.getEventType().isAssignableFrom(eventClass)) {
+                result.add(handler);
+            }
+        }
+        return result.isEmpty() ? NO_HANDLERS : result.toArray(NO_HANDLERS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("[EventDispatcher %s]", handlers);
+    }
+}
@@ -0,0 +1,247 @@
+package me.colingreybosh.cocoa;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.GenericGuildEvent;
+import net.dv8tion.jda.api.events.message.GenericMessageEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.MessageUpdateEvent;
+import net.dv8tion.jda.api.events.message.guild.GenericGuildMessageEvent;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageUpdateEvent;
+import net.dv8tion.jda.api.events.message.priv.GenericPrivateMessageEvent;
+import net.dv8tion.jda.api.events.message.priv.PrivateMessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.priv.PrivateMessageUpdateEvent;
+
+/**
+ * An ADT representing a handler for a single type of gateway event, along with
+ * a cheap filter that decides whether a given event of that type is handled.
+ *
+ * Handlers are registered with a {@link Bot}, which only offers a handler the
+ * events that are instances of its event type. The filter and event type are
+ * immutable; the timing statistics are updated every time the handler runs.
+ *
+ * @author Colin Greybosh
+ *
+ * @param <T> The type of event handled
+ */
+public class EventHandler<T extends GenericEvent> {
+
+    private final String name;
+    private final Class<T> eventType;
+    private final Predicate<? super T> filter;
+    private final Consumer<? super T> action;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    /*
+     * Abstraction Function:
+     *   AF(name, eventType, filter, action, invocations, totalNanos) =
+     *       a handler called `name` that runs `action` on every event of type `eventType`
+     *       accepted by `filter`, and has done so `invocations` times taking `totalNanos`
+     *       nanoseconds in total
+     *
+     * Representation Invariant:
+     *   name, eventType, filter and action are non-null
+     *   invocations >= 0 and totalNanos >= 0
+     *
+     * Safety From Representation Exposure:
+     *   all fields are private and final
+     *   only strings, classes and primitive values are returned
+     */
+
+    /**
+     * Create a new handler that accepts every event of type {@code eventType}.
+     *
+     * @param name A name identifying this handler in timing reports
+     * @param eventType The type of event handled
+     * @param action The action run on each handled event
+     */
+    public EventHandler(String name, Class<T> eventType, Consumer<? super T> action) {
+        this(name, eventType, event -> true, action);
+    }
+
+    private EventHandler(String name, Class<T> eventType, Predicate<? super T> filter, Consumer<? super T> action) {
+        this.name = Objects.requireNonNull(name);
+        this.eventType = Objects.requireNonNull(eventType);
+        this.filter = Objects.requireNonNull(filter);
+        this.action = Objects.requireNonNull(action);
+        checkRep();
+    }
+
+    /**
+     * Asserts the representation invariant.
+     */
+    private void checkRep() {
+        assert name != null;
+        assert eventType != null;
+        assert filter != null;
+        assert action != null;
+        assert invocations.sum() >= 0;
+        assert totalNanos.sum() >= 0;
+    }
+
+    /**
+     * Get a new handler that only handles the events accepted by both this handler
+     * and {@code predicate}. The new handler starts with no timing statistics.
+     *
+     * @param predicate An additional filter on handled events
+     * @return A copy of this handler with {@code predicate} added to its filter
+     */
+    public EventHandler<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate);
+        final Predicate<? super T> current = filter;
+        return new EventHandler<>(name, eventType, event -> current.test(event) && predicate.test(event), action);
+    }
+
+    /**
+     * Get a new handler that only handles events from the guild with ID {@code guildId}.
+     *
+     * @param guildId The ID of a guild
+     * @return A copy of this handler that ignores events from other guilds and from private channels
+     */
+    public EventHandler<T> inGuild(long guildId) {
+        return filter(event -> guildIdOf(event) == guildId);
+    }
+
+    /**
+     * Get a new handler that only handles events from the channel with ID {@code channelId}.
+     *
+     * @param channelId The ID of a channel
+     * @return A copy of this handler that ignores events from other channels and events without a channel
+     */
+    public EventHandler<T> inChannel(long channelId) {
+        return filter(event -> channelIdOf(event) == channelId);
+    }
+
+    /**
+     * Get a new handler that ignores messages written by bots.
+     *
+     * @return A copy of this handler that ignores events whose message author is a bot
+     */
+    public EventHandler<T> skipBots() {
+        return filter(event -> {
+            final User author = authorOf(event);
+            return author == null || !author.isBot();
+        });
+    }
+
+    private static long guildIdOf(GenericEvent event) {
+        if (event instanceof GenericGuildEvent) {
+            return ((GenericGuildEvent) event).getGuild().getIdLong();
+        } else if (event instanceof GenericMessageEvent && ((GenericMessageEvent) event).getChannelType().isGuild()) {
+            return ((GenericMessageEvent) event).getGuild().getIdLong();
+        }
+        return -1;
+    }
+
+    private static long channelIdOf(GenericEvent event) {
+        if (event instanceof GenericGuildMessageEvent) {
+            return ((GenericGuildMessageEvent) event).getChannel().getIdLong();
+        } else if (event instanceof GenericPrivateMessageEvent) {
+            return ((GenericPrivateMessageEvent) event).getChannel().getIdLong();
+        } else if (event instanceof GenericMessageEvent) {
+            return ((GenericMessageEvent) event).getChannel().getIdLong();
+        }
+        return -1;
+    }
+
+    private static User authorOf(GenericEvent event) {
+        if (event instanceof MessageReceivedEvent) {
+            return ((MessageReceivedEvent) event).getAuthor();
+        } else if (event instanceof GuildMessageReceivedEvent) {
+            return ((GuildMessageReceivedEvent) event).getAuthor();
+        } else if (event instanceof PrivateMessageReceivedEvent) {
+            return ((PrivateMessageReceivedEvent) event).getAuthor();
+        } else if (event instanceof MessageUpdateEvent) {
+            return ((MessageUpdateEvent) event).getAuthor();
+        } else if (event instanceof GuildMessageUpdateEvent) {
+            return ((GuildMessageUpdateEvent) event).getAuthor();
+        } else if (event instanceof PrivateMessageUpdateEvent) {
+            return ((PrivateMessageUpdateEvent) event).getAuthor();
+        }
+        return null;
+    }
+
+    /**
+     * Run this handler on {@code event} if the event passes this handler's filter,
+     * recording how long the handler took.
+     *
+     * @param event An event that is an instance of this handler's event type
+     * @return {@code true} if the handler ran
+     */
+    boolean handle(GenericEvent event) {
+        final T typed = eventType.cast(event);
+        if (!filter.test(typed)) {
+            return false;
+        }
+        final long start = System.nanoTime();
+        try {
+            action.accept(typed);
+        } finally {
+            totalNanos.add(System.nanoTime() - start);
+            invocations.increment();
+        }
+        return true;
+    }
+
+    /**
+     * Get this handler's name.
+     *
+     * @return This handler's name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the type of event handled by this handler.
+     *
+     * @return This handler's event type
+     */
+    public Class<T> getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Get the number of times this handler's action has run.
+     *
+     * @return The number of events handled
+     */
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    /**
+     * Get the total time spent running this handler's action.
+     *
+     * @return The total handling time, in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Get the mean time spent running this handler's action once.
+     *
+     * @return The mean handling time in nanoseconds, or 0 if the handler has never run
+     */
+    public double getAverageNanos() {
+        final long count = getInvocations();
+        return count == 0 ? 0 : (double) getTotalNanos() / count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("[EventHandler %s, %s, %d calls, %.0f ns avg]",
+                name, eventType.getSimpleName(), getInvocations(), getAverageNanos());
+    }
+}
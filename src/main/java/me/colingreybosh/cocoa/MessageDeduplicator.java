@@ -0,0 +1,235 @@
+package me.colingreybosh.cocoa;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Mutable ADT representing a memory-bounded set of recently seen Discord message IDs,
+ * used to suppress events that are delivered more than once (e.g. after a gateway
+ * reconnect or resume).
+ *
+ * Message IDs are Discord snowflakes, whose upper 42 bits hold a millisecond timestamp.
+ * The deduplicator splits time into fixed-length windows and keeps a ring of Bloom filters,
+ * one per window. An ID is only ever checked against the filter for the window its own
+ * timestamp falls in, so the false-positive rate of a lookup is the configured rate
+ * regardless of how many windows are retained. When a newer window claims a slot in the
+ * ring, the filter in that slot is cleared, so memory use never grows past the budget
+ * given at construction.
+ *
+ * IDs older than the oldest retained window cannot be tracked and are always reported
+ * as not seen.
+ *
+ * @author Colin Greybosh
+ *
+ */
+public class MessageDeduplicator {
+
+    private static final long DISCORD_EPOCH = 1420070400000L;
+    private static final int TIMESTAMP_SHIFT = 22;
+    private static final double LN_2 = Math.log(2);
+
+    private final long windowMillis;
+    private final int bitsPerFilter;
+    private final int hashCount;
+    private final long capacityPerFilter;
+    private final long[][] filters;
+    private final long[] filterWindows;
+    private long newestWindow;
+    private long lookups;
+    private long hits;
+
+    /*
+     * Abstraction Function
+     *   AF(windowMillis, bitsPerFilter, hashCount, capacityPerFilter, filters, filterWindows,
+     *      newestWindow, lookups, hits) =
+     *          a set of message IDs seen within the windows
+     *          [newestWindow - filters.length + 1, newestWindow], each window spanning
+     *          `windowMillis` milliseconds of snowflake time, where the IDs seen in window w
+     *          are approximated by the Bloom filter filters[i] with `hashCount` hash functions
+     *          over `bitsPerFilter` bits whenever filterWindows[i] == w, and where `hits` of the
+     *          `lookups` IDs offered so far were reported as already seen
+     *
+     * Representation Invariant
+     *   windowMillis > 0
+     *   bitsPerFilter > 0 and bitsPerFilter is a multiple of 64
+     *   hashCount > 0
+     *   filters.length == filterWindows.length > 0
+     *   every filters[i].length == bitsPerFilter / 64
+     *   every filterWindows[i] <= newestWindow, or filterWindows[i] == -1 for an unused slot
+     *   0 <= hits <= lookups
+     *
+     * Safety from representation exposure
+     *   all fields are private
+     *   only primitive values are returned
+     */
+
+    /**
+     * Create a deduplicator that uses at most {@code memoryBudgetBytes} bytes of filter
+     * storage, split evenly across {@code partitions} time windows.
+     *
+     * @param memoryBudgetBytes The total number of bytes available to the filters, at least 8 per partition.
+     * @param falsePositiveRate The probability that an unseen ID is reported as seen, in (0, 1).
+     * @param window The span of snowflake time covered by each partition.
+     * @param partitions The number of windows retained at once.
+     * @throws IllegalArgumentException If any argument is out of range.
+     */
+    public MessageDeduplicator(long memoryBudgetBytes, double falsePositiveRate, Duration window, int partitions) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("partitions must be positive: " + partitions);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+        if (window == null || window.toMillis() <= 0) {
+            throw new IllegalArgumentException("window must be at least one millisecond: " + window);
+        }
+        final long wordsPerFilter = memoryBudgetBytes / Long.BYTES / partitions;
+        if (wordsPerFilter <= 0 || wordsPerFilter * Long.SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("memoryBudgetBytes out of range: " + memoryBudgetBytes);
+        }
+        windowMillis = window.toMillis();
+        bitsPerFilter = (int) (wordsPerFilter * Long.SIZE);
+        // optimal Bloom filter parameters for a fixed bit count m and target rate p:
+        //   k = -ln(p) / ln(2), n = -m * ln(2)^2 / ln(p)
+        hashCount = Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / LN_2));
+        capacityPerFilter = (long) (-bitsPerFilter * LN_2 * LN_2 / Math.log(falsePositiveRate));
+        filters = new long[partitions][(int) wordsPerFilter];
+        filterWindows = new long[partitions];
+        Arrays.fill(filterWindows, -1);
+        newestWindow = -1;
+        checkRep();
+    }
+
+    private void checkRep() {
+        assert windowMillis > 0;
+        assert bitsPerFilter > 0 && bitsPerFilter % Long.SIZE == 0;
+        assert hashCount > 0;
+        assert filters.length == filterWindows.length && filters.length > 0;
+        for (int i = 0; i < filters.length; i++) {
+            assert filters[i].length == bitsPerFilter / Long.SIZE;
+            assert filterWindows[i] <= newestWindow;
+        }
+        assert 0 <= hits && hits <= lookups;
+    }
+
+    /**
+     * Record that the message with ID {@code messageId} has been received, reporting
+     * whether it was (probably) received before.
+     *
+     * @param messageId The snowflake ID of the received message.
+     * @return {@code true} if this ID was probably already recorded, {@code false} if it definitely was not
+     *         or if it is too old to be tracked.
+     */
+    public synchronized boolean isDuplicate(long messageId) {
+        lookups++;
+        final long window = toWindow(messageId);
+        if (window <= newestWindow - filters.length) {
+            checkRep();
+            return false;
+        }
+        final int slot = (int) Math.floorMod(window, (long) filters.length);
+        final long[] filter = filters[slot];
+        if (filterWindows[slot] != window) {
+            Arrays.fill(filter, 0L);
+            filterWindows[slot] = window;
+            newestWindow = Math.max(newestWindow, window);
+        }
+
+        final long hash = mix(messageId);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32) | 1;
+        boolean seen = true;
+        for (int i = 0; i < hashCount; i++) {
+            final int bit = Math.floorMod(h1 + i * h2, bitsPerFilter);
+            final long mask = 1L << bit;
+            if ((filter[bit >>> 6] & mask) == 0) {
+                seen = false;
+                filter[bit >>> 6] |= mask;
+            }
+        }
+        if (seen) {
+            hits++;
+        }
+        checkRep();
+        return seen;
+    }
+
+    /**
+     * Get the time window a snowflake's timestamp falls in.
+     *
+     * @param snowflake A Discord snowflake ID.
+     * @return The index of the window containing the snowflake's timestamp.
+     */
+    private long toWindow(long snowflake) {
+        final long timestamp = (snowflake >>> TIMESTAMP_SHIFT) + DISCORD_EPOCH;
+        return timestamp / windowMillis;
+    }
+
+    /**
+     * Scramble a 64-bit value (the SplitMix64 finalizer) so that sequential snowflakes
+     * spread across the whole filter.
+     *
+     * @param value The value to scramble.
+     * @return A well-distributed 64-bit hash of {@code value}.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Get the number of IDs offered to {@link #isDuplicate(long)} so far.
+     *
+     * @return The number of lookups performed.
+     */
+    public synchronized long getLookups() {
+        return lookups;
+    }
+
+    /**
+     * Get the number of IDs reported as duplicates so far.
+     *
+     * @return The number of lookups that returned {@code true}.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the fraction of lookups that were reported as duplicates.
+     *
+     * @return {@code hits / lookups}, or 0 if no lookups have been performed.
+     */
+    public synchronized double getHitRate() {
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Get the number of distinct IDs a single window can hold before its false-positive
+     * rate rises above the configured rate.
+     *
+     * @return The expected capacity of each window.
+     */
+    public long getCapacityPerWindow() {
+        return capacityPerFilter;
+    }
+
+    /**
+     * Get the number of bytes used by the filters, which is fixed at construction.
+     *
+     * @return The size of the filter storage, in bytes.
+     */
+    public long getMemoryBytes() {
+        return (long) filters.length * bitsPerFilter / Byte.SIZE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format("(MessageDeduplicator %d bytes, %d/%d hits)", getMemoryBytes(), hits, lookups);
+    }
+}
@@ -0,0 +1,94 @@
+package me.colingreybosh.cocoa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the BotConfig ADT.
+ *
+ * @author Colin Greybosh
+ *
+ */
+public class BotConfigTest {
+
+    private static final String BASE_PATH = "./src/test/java/me/colingreybosh/cocoa/configs/";
+
+    @Test
+    public void testAssertionsEnabled() {
+        assertThrows(AssertionError.class, () -> { assert false; },
+                "make sure assertions are enabled with VM argument '-ea'");
+    }
+
+    /*
+     * Testing Strategy
+     *
+     * parse()
+     *   file sets every key, some keys, no keys
+     *   file is valid, file has an invalid pattern, file has an invalid interval
+     */
+
+    // Tests on parse()
+
+    /*
+     * subdomains covered:
+     *   file sets every key
+     *   file is valid
+     */
+    @Test
+    public void testParseValid() throws Exception {
+        final BotConfig config = BotConfig.parse(Paths.get(BASE_PATH + "valid.properties"));
+        assertEquals("[tT]+[eE]+[aA]+", config.getCocoaRegex().pattern(), "Incorrect pattern!");
+        assertEquals("./tables/tea.dt", config.getPathToData(), "Incorrect data path!");
+        assertEquals(Duration.ofMinutes(1), config.getFlushInterval(), "Incorrect flush interval!");
+        assertEquals("!tea", config.getCommand(), "Incorrect command!");
+    }
+
+    /*
+     * subdomains covered:
+     *   file sets some keys
+     *   file is valid
+     */
+    @Test
+    public void testParsePartial() throws Exception {
+        final BotConfig config = BotConfig.parse(Paths.get(BASE_PATH + "partial.properties"));
+        final BotConfig defaults = BotConfig.defaults();
+        assertEquals("!tea", config.getCommand(), "Incorrect command!");
+        assertEquals(defaults.getPathToData(), config.getPathToData(), "Expected the default data path!");
+        assertEquals(defaults.getFlushInterval(), config.getFlushInterval(), "Expected the default flush interval!");
+    }
+
+    /*
+     * subdomains covered:
+     *   file sets no keys
+     */
+    @Test
+    public void testParseEmpty() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BotConfig.parse(Paths.get(BASE_PATH + "empty.properties")));
+    }
+
+    /*
+     * subdomains covered:
+     *   file has an invalid pattern
+     */
+    @Test
+    public void testParseInvalidRegex() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BotConfig.parse(Paths.get(BASE_PATH + "invalidRegex.properties")));
+    }
+
+    /*
+     * subdomains covered:
+     *   file has an invalid interval
+     */
+    @Test
+    public void testParseInvalidInterval() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BotConfig.parse(Paths.get(BASE_PATH + "invalidInterval.properties")));
+    }
+}
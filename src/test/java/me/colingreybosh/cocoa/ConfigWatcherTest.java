@@ -0,0 +1,146 @@
+package me.colingreybosh.cocoa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the ConfigWatcher ADT.
+ *
+ * @author Colin Greybosh
+ *
+ */
+public class ConfigWatcherTest {
+
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+    private static final long TIMEOUT_MILLIS = 10000;
+    private static final long QUIET_MILLIS = 1000;
+
+    @Test
+    public void testAssertionsEnabled() {
+        assertThrows(AssertionError.class, () -> { assert false; },
+                "make sure assertions are enabled with VM argument '-ea'");
+    }
+
+    /*
+     * Testing Strategy
+     *
+     * reload()
+     *   new file is valid, has an invalid value, drops a previously set key
+     *
+     * file changes on disk
+     *   new file is valid, is empty
+     *   other files in the directory change
+     */
+
+    private static Path writeConfig(Path directory, String contents) throws Exception {
+        return Files.writeString(directory.resolve("cocoa.properties"), contents, CHARSET);
+    }
+
+    private static void awaitCommand(ConfigWatcher watcher, String command) throws Exception {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!watcher.get().getCommand().equals(command) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    // Tests on reload()
+
+    /*
+     * subdomains covered:
+     *   new file is valid, has an invalid value
+     */
+    @Test
+    public void testReload(@TempDir Path directory) throws Exception {
+        final Path path = writeConfig(directory, "command=!tea\n");
+        try (final ConfigWatcher watcher = new ConfigWatcher(path.toString())) {
+            assertEquals("!tea", watcher.get().getCommand(), "Expected the initial config!");
+
+            writeConfig(directory, "command=!coffee\n");
+            assertEquals(true, watcher.reload(), "Expected a valid config to be applied!");
+            assertEquals("!coffee", watcher.get().getCommand(), "Expected the new config!");
+
+            writeConfig(directory, "cocoa.regex=[unclosed\ncommand=!water\n");
+            assertEquals(false, watcher.reload(), "Expected an invalid config to be rejected!");
+            assertEquals("!coffee", watcher.get().getCommand(), "Expected the previous config to be kept!");
+        }
+    }
+
+    /*
+     * subdomains covered:
+     *   new file drops a previously set key
+     */
+    @Test
+    public void testReloadDroppedKey(@TempDir Path directory) throws Exception {
+        final Path path = writeConfig(directory, "command=!tea\ncocoa.regex=tea\n");
+        try (final ConfigWatcher watcher = new ConfigWatcher(path.toString())) {
+            writeConfig(directory, "command=!coffee\n");
+            assertEquals(true, watcher.reload(), "Expected removing an override to be applied!");
+            assertEquals("!coffee", watcher.get().getCommand(), "Expected the new command!");
+            assertEquals(Constants.COCOA_REGEX.pattern(), watcher.get().getCocoaRegex().pattern(),
+                    "Expected the removed key to fall back to its default!");
+        }
+    }
+
+    // Tests on file changes
+
+    /*
+     * subdomains covered:
+     *   new file is valid
+     */
+    @Test
+    public void testWatchesFile(@TempDir Path directory) throws Exception {
+        final Path path = writeConfig(directory, "command=!tea\n");
+        try (final ConfigWatcher watcher = new ConfigWatcher(path.toString())) {
+            writeConfig(directory, "command=!coffee\n");
+            awaitCommand(watcher, "!coffee");
+            assertEquals("!coffee", watcher.get().getCommand(), "Expected the change to be picked up!");
+        }
+    }
+
+    /*
+     * subdomains covered:
+     *   new file is empty
+     */
+    @Test
+    public void testWatchesEmptyFile(@TempDir Path directory) throws Exception {
+        final Path path = writeConfig(directory, "command=!tea\n");
+        try (final ConfigWatcher watcher = new ConfigWatcher(path.toString())) {
+            writeConfig(directory, "");
+            Thread.sleep(QUIET_MILLIS);
+            assertEquals("!tea", watcher.get().getCommand(), "Expected the previous config to be kept!");
+
+            writeConfig(directory, "command=!coffee\n");
+            awaitCommand(watcher, "!coffee");
+            assertEquals("!coffee", watcher.get().getCommand(), "Expected the watcher to still be running!");
+        }
+    }
+
+    /*
+     * subdomains covered:
+     *   new file is valid
+     *   other files in the directory change
+     */
+    @Test
+    public void testWatchesFileWithBusyDirectory(@TempDir Path directory) throws Exception {
+        final Path path = writeConfig(directory, "command=!tea\n");
+        final Path other = directory.resolve("members.dt");
+        try (final ConfigWatcher watcher = new ConfigWatcher(path.toString())) {
+            writeConfig(directory, "command=!coffee\n");
+            final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            int writes = 0;
+            while (!watcher.get().getCommand().equals("!coffee") && System.currentTimeMillis() < deadline) {
+                Files.writeString(other, "row " + writes++ + "\n", CHARSET);
+                Thread.sleep(20);
+            }
+            assertEquals("!coffee", watcher.get().getCommand(),
+                    "Expected the change to be picked up while another file keeps changing!");
+        }
+    }
+}
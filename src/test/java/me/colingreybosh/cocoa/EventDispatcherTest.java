@@ -0,0 +1,297 @@
+package me.colingreybosh.cocoa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.ChannelType;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.PrivateChannel;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.MessageUpdateEvent;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageUpdateEvent;
+import net.dv8tion.jda.api.events.message.priv.PrivateMessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.priv.PrivateMessageUpdateEvent;
+
+/**
+ * Tests for the EventDispatcher and EventHandler ADTs.
+ *
+ * @author Colin Greybosh
+ *
+ */
+public class EventDispatcherTest {
+
+    @Test
+    public void testAssertionsEnabled() {
+        assertThrows(AssertionError.class, () -> { assert false; },
+                "make sure assertions are enabled with VM argument '-ea'");
+    }
+
+    /*
+     * Testing Strategy
+     *
+     * onEvent()
+     *   handler type is the event's class, a supertype of the event's class, unrelated
+     *   handler filter accepts, rejects
+     *   handler throws, returns normally
+     *   handler registered before, after the first event of a class
+     *
+     * getInvocations()
+     *   returns 0, >0
+     *
+     * inGuild(), inChannel(), skipBots()
+     *   event is a MessageReceivedEvent from a guild, from a private channel
+     *   event is a MessageUpdateEvent, GuildMessageReceivedEvent, GuildMessageUpdateEvent,
+     *     PrivateMessageReceivedEvent, PrivateMessageUpdateEvent, has no guild, channel or author
+     *   event matches, doesn't match
+     */
+
+    private static final long GUILD_ID = 100;
+    private static final long OTHER_GUILD_ID = 101;
+    private static final long TEXT_CHANNEL_ID = 200;
+    private static final long PRIVATE_CHANNEL_ID = 201;
+    private static final long MESSAGE_ID = 300;
+
+    /**
+     * Create a stub implementation of a JDA entity interface whose methods return the values
+     * in {@code returns}, keyed by method name, and default values otherwise.
+     */
+    private static <T> T stub(Class<T> type, Map<String, Object> returns) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, arguments) -> {
+                    if (returns.containsKey(method.getName())) {
+                        return returns.get(method.getName());
+                    } else if (method.getName().equals("equals")) {
+                        return proxy == arguments[0];
+                    } else if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    } else if (method.getName().equals("toString")) {
+                        return type.getSimpleName();
+                    } else if (method.getReturnType() == boolean.class) {
+                        return false;
+                    } else if (method.getReturnType() == long.class) {
+                        return 0L;
+                    } else if (method.getReturnType() == int.class) {
+                        return 0;
+                    }
+                    return null;
+                }));
+    }
+
+    private static Message guildMessage(long guildId, boolean fromBot) {
+        final Guild guild = stub(Guild.class, Map.of("getIdLong", guildId));
+        final TextChannel channel = stub(TextChannel.class,
+                Map.of("getIdLong", TEXT_CHANNEL_ID, "getType", ChannelType.TEXT, "getGuild", guild));
+        final User author = stub(User.class, Map.of("isBot", fromBot));
+        return stub(Message.class, Map.of("getIdLong", MESSAGE_ID, "getChannel", channel,
+                "getTextChannel", channel, "getAuthor", author, "getGuild", guild));
+    }
+
+    private static Message privateMessage(boolean fromBot) {
+        final PrivateChannel channel = stub(PrivateChannel.class,
+                Map.of("getIdLong", PRIVATE_CHANNEL_ID, "getType", ChannelType.PRIVATE));
+        final User author = stub(User.class, Map.of("isBot", fromBot));
+        return stub(Message.class, Map.of("getIdLong", MESSAGE_ID, "getChannel", channel,
+                "getPrivateChannel", channel, "getAuthor", author));
+    }
+
+    /**
+     * Check whether {@code handler} runs on {@code event}.
+     */
+    private static boolean accepts(EventHandler<GenericEvent> handler, GenericEvent event) {
+        return handler.handle(event);
+    }
+
+    private static EventHandler<GenericEvent> anyEvent() {
+        return new EventHandler<>("any", GenericEvent.class, e -> {});
+    }
+
+    private static class TestEvent implements GenericEvent {
+        @Override
+        public JDA getJDA() {
+            return null;
+        }
+
+        @Override
+        public long getResponseNumber() {
+            return 0;
+        }
+    }
+
+    private static class SubTestEvent extends TestEvent {}
+
+    private static class OtherEvent extends TestEvent {}
+
+    // Tests on onEvent()
+
+    /*
+     * subdomains covered:
+     *   handler type is the event's class, a supertype of the event's class, unrelated
+     *   handler filter accepts
+     *   getInvocations() returns 0, >0
+     */
+    @Test
+    public void testOnEventRoutesByType() {
+        final List<String> calls = new ArrayList<>();
+        final EventHandler<TestEvent> base = new EventHandler<>("base", TestEvent.class, e -> calls.add("base"));
+        final EventHandler<SubTestEvent> sub = new EventHandler<>("sub", SubTestEvent.class, e -> calls.add("sub"));
+        final EventDispatcher dispatcher = new EventDispatcher();
+        dispatcher.addHandler(base);
+        dispatcher.addHandler(sub);
+
+        dispatcher.onEvent(new SubTestEvent());
+        assertEquals(List.of("base", "sub"), calls, "Expected both handlers in registration order!");
+
+        calls.clear();
+        dispatcher.onEvent(new OtherEvent());
+        assertEquals(List.of("base"), calls, "Expected only the supertype handler!");
+        assertEquals(2, base.getInvocations(), "Expected base to run twice!");
+        assertEquals(1, sub.getInvocations(), "Expected sub to run once!");
+    }
+
+    /*
+     * subdomains covered:
+     *   handler filter rejects
+     *   getInvocations() returns 0
+     */
+    @Test
+    public void testOnEventFilterRejects() {
+        final List<String> calls = new ArrayList<>();
+        final EventHandler<TestEvent> handler = new EventHandler<>("filtered", TestEvent.class, e -> calls.add("x"))
+                .filter(e -> e instanceof SubTestEvent);
+        final EventDispatcher dispatcher = new EventDispatcher();
+        dispatcher.addHandler(handler);
+
+        dispatcher.onEvent(new OtherEvent());
+        assertTrue(calls.isEmpty(), "Expected the filter to reject the event!");
+        assertEquals(0, handler.getInvocations(), "Expected no invocations!");
+        assertEquals(0.0, handler.getAverageNanos(), "Expected no timing data!");
+    }
+
+    /*
+     * subdomains covered:
+     *   handler throws
+     */
+    @Test
+    public void testOnEventHandlerThrows() {
+        final List<String> calls = new ArrayList<>();
+        final EventDispatcher dispatcher = new EventDispatcher();
+        dispatcher.addHandler(new EventHandler<>("throws", TestEvent.class, e -> { throw new IllegalStateException(); }));
+        dispatcher.addHandler(new EventHandler<>("after", TestEvent.class, e -> calls.add("after")));
+
+        dispatcher.onEvent(new TestEvent());
+        assertEquals(List.of("after"), calls, "Expected later handlers to still run!");
+    }
+
+    /*
+     * subdomains covered:
+     *   handler registered after the first event of a class
+     */
+    @Test
+    public void testOnEventLateRegistration() {
+        final List<String> calls = new ArrayList<>();
+        final EventDispatcher dispatcher = new EventDispatcher();
+        dispatcher.onEvent(new TestEvent());
+        dispatcher.addHandler(new EventHandler<>("late", TestEvent.class, e -> calls.add("late")));
+
+        dispatcher.onEvent(new TestEvent());
+        assertEquals(List.of("late"), calls, "Expected the late handler to run!");
+    }
+
+    // Tests on inGuild()
+
+    /*
+     * subdomains covered:
+     *   event is a MessageReceivedEvent from a guild, from a private channel
+     *   event is a GuildMessageReceivedEvent, has no guild
+     *   event matches, doesn't match
+     */
+    @Test
+    public void testInGuild() {
+        final EventHandler<GenericEvent> handler = anyEvent().inGuild(GUILD_ID);
+        assertEquals(true, accepts(handler, new MessageReceivedEvent(null, 0, guildMessage(GUILD_ID, false))),
+                "Expected a message from the guild to be accepted!");
+        assertEquals(false, accepts(handler, new MessageReceivedEvent(null, 0, guildMessage(OTHER_GUILD_ID, false))),
+                "Expected a message from another guild to be rejected!");
+        assertEquals(false, accepts(handler, new MessageReceivedEvent(null, 0, privateMessage(false))),
+                "Expected a private message to be rejected!");
+        assertEquals(true, accepts(handler, new GuildMessageReceivedEvent(null, 0, guildMessage(GUILD_ID, false))),
+                "Expected a guild message event from the guild to be accepted!");
+        assertEquals(false, accepts(handler, new GuildMessageReceivedEvent(null, 0, guildMessage(OTHER_GUILD_ID, false))),
+                "Expected a guild message event from another guild to be rejected!");
+        assertEquals(false, accepts(handler, new TestEvent()), "Expected an event without a guild to be rejected!");
+    }
+
+    // Tests on inChannel()
+
+    /*
+     * subdomains covered:
+     *   event is a MessageReceivedEvent from a guild, from a private channel
+     *   event is a GuildMessageReceivedEvent, PrivateMessageReceivedEvent, has no channel
+     *   event matches, doesn't match
+     */
+    @Test
+    public void testInChannel() {
+        final EventHandler<GenericEvent> text = anyEvent().inChannel(TEXT_CHANNEL_ID);
+        final EventHandler<GenericEvent> priv = anyEvent().inChannel(PRIVATE_CHANNEL_ID);
+        assertEquals(true, accepts(text, new MessageReceivedEvent(null, 0, guildMessage(GUILD_ID, false))),
+                "Expected a message from the text channel to be accepted!");
+        assertEquals(false, accepts(text, new MessageReceivedEvent(null, 0, privateMessage(false))),
+                "Expected a message from another channel to be rejected!");
+        assertEquals(true, accepts(priv, new MessageReceivedEvent(null, 0, privateMessage(false))),
+                "Expected a message from the private channel to be accepted!");
+        assertEquals(true, accepts(text, new GuildMessageReceivedEvent(null, 0, guildMessage(GUILD_ID, false))),
+                "Expected a guild message event from the text channel to be accepted!");
+        assertEquals(false, accepts(priv, new GuildMessageReceivedEvent(null, 0, guildMessage(GUILD_ID, false))),
+                "Expected a guild message event from another channel to be rejected!");
+        assertEquals(true, accepts(priv, new PrivateMessageReceivedEvent(null, 0, privateMessage(false))),
+                "Expected a private message event from the private channel to be accepted!");
+        assertEquals(false, accepts(text, new PrivateMessageReceivedEvent(null, 0, privateMessage(false))),
+                "Expected a private message event from another channel to be rejected!");
+        assertEquals(false, accepts(text, new TestEvent()), "Expected an event without a channel to be rejected!");
+    }
+
+    // Tests on skipBots()
+
+    /*
+     * subdomains covered:
+     *   event is a MessageReceivedEvent, MessageUpdateEvent, GuildMessageReceivedEvent,
+     *     GuildMessageUpdateEvent, PrivateMessageReceivedEvent, PrivateMessageUpdateEvent, has no author
+     *   event matches, doesn't match
+     */
+    @Test
+    public void testSkipBots() {
+        final EventHandler<GenericEvent> handler = anyEvent().skipBots();
+        for (boolean fromBot : new boolean[] { false, true }) {
+            final boolean expected = !fromBot;
+            final String message = fromBot ? "Expected a bot message to be rejected!"
+                    : "Expected a user message to be accepted!";
+            assertEquals(expected, accepts(handler, new MessageReceivedEvent(null, 0, guildMessage(GUILD_ID, fromBot))),
+                    message);
+            assertEquals(expected, accepts(handler, new MessageUpdateEvent(null, 0, guildMessage(GUILD_ID, fromBot))),
+                    message);
+            assertEquals(expected, accepts(handler, new GuildMessageReceivedEvent(null, 0, guildMessage(GUILD_ID, fromBot))),
+                    message);
+            assertEquals(expected, accepts(handler, new GuildMessageUpdateEvent(null, 0, guildMessage(GUILD_ID, fromBot))),
+                    message);
+            assertEquals(expected, accepts(handler, new PrivateMessageReceivedEvent(null, 0, privateMessage(fromBot))),
+                    message);
+            assertEquals(expected, accepts(handler, new PrivateMessageUpdateEvent(null, 0, privateMessage(fromBot))),
+                    message);
+        }
+        assertEquals(true, accepts(handler, new TestEvent()), "Expected an event without an author to be accepted!");
+    }
+}
@@ -0,0 +1,168 @@
+package me.colingreybosh.cocoa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the MessageDeduplicator ADT.
+ *
+ * @author Colin Greybosh
+ *
+ */
+public class MessageDeduplicatorTest {
+
+    private static final long DISCORD_EPOCH = 1420070400000L;
+    private static final long BASE_ID = 689225599990104070L;
+
+    @Test
+    public void testAssertionsEnabled() {
+        assertThrows(AssertionError.class, () -> { assert false; },
+                "make sure assertions are enabled with VM argument '-ea'");
+    }
+
+    /*
+     * Testing Strategy
+     *
+     * MessageDeduplicator()
+     *   arguments valid, some argument out of range
+     *
+     * isDuplicate()
+     *   id seen before, id not seen before
+     *   id in newest window, id in an older retained window, id older than every retained window
+     *
+     * getHitRate()
+     *   no lookups, some lookups
+     */
+
+    private static long toSnowflake(long timestampMillis, long increment) {
+        return ((timestampMillis - DISCORD_EPOCH) << 22) | increment;
+    }
+
+    private static MessageDeduplicator newDeduplicator() {
+        return new MessageDeduplicator(1 << 16, 0.001, Duration.ofMinutes(1), 4);
+    }
+
+    // Tests on MessageDeduplicator()
+
+    /*
+     * subdomains covered:
+     *   some argument out of range
+     */
+    @Test
+    public void testConstructorInvalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MessageDeduplicator(1 << 16, 0.001, Duration.ofMinutes(1), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MessageDeduplicator(1 << 16, 1, Duration.ofMinutes(1), 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MessageDeduplicator(1 << 16, 0.001, Duration.ZERO, 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MessageDeduplicator(8, 0.001, Duration.ofMinutes(1), 4));
+    }
+
+    /*
+     * subdomains covered:
+     *   arguments valid
+     */
+    @Test
+    public void testConstructorMemoryBudget() {
+        final MessageDeduplicator deduplicator = newDeduplicator();
+        assertEquals(1 << 16, deduplicator.getMemoryBytes(), "Expected memory use to match the budget!");
+        assertTrue(deduplicator.getCapacityPerWindow() > 0, "Expected a positive capacity!");
+    }
+
+    // Tests on isDuplicate()
+
+    /*
+     * subdomains covered:
+     *   id seen before, id not seen before
+     *   id in newest window
+     */
+    @Test
+    public void testIsDuplicateSameWindow() {
+        final MessageDeduplicator deduplicator = newDeduplicator();
+        assertEquals(false, deduplicator.isDuplicate(BASE_ID), "Expected first delivery to be new!");
+        assertEquals(true, deduplicator.isDuplicate(BASE_ID), "Expected second delivery to be a duplicate!");
+        assertEquals(false, deduplicator.isDuplicate(BASE_ID + 1), "Expected a different id to be new!");
+    }
+
+    /*
+     * subdomains covered:
+     *   id seen before
+     *   id in an older retained window
+     */
+    @Test
+    public void testIsDuplicateOlderWindow() {
+        final MessageDeduplicator deduplicator = newDeduplicator();
+        final long now = 1600000000000L;
+        final long older = toSnowflake(now, 0);
+        final long newer = toSnowflake(now + Duration.ofMinutes(2).toMillis(), 0);
+        deduplicator.isDuplicate(older);
+        deduplicator.isDuplicate(newer);
+        assertEquals(true, deduplicator.isDuplicate(older), "Expected the older id to still be tracked!");
+    }
+
+    /*
+     * subdomains covered:
+     *   id seen before
+     *   id older than every retained window
+     */
+    @Test
+    public void testIsDuplicateExpired() {
+        final MessageDeduplicator deduplicator = newDeduplicator();
+        final long now = 1600000000000L;
+        final long older = toSnowflake(now, 0);
+        final long newer = toSnowflake(now + Duration.ofMinutes(10).toMillis(), 0);
+        deduplicator.isDuplicate(older);
+        deduplicator.isDuplicate(newer);
+        assertEquals(false, deduplicator.isDuplicate(older), "Expected the expired id to be forgotten!");
+    }
+
+    /*
+     * subdomains covered:
+     *   id not seen before
+     *   id in newest window
+     */
+    @Test
+    public void testIsDuplicateFalsePositiveRate() {
+        final double rate = 0.001;
+        final MessageDeduplicator deduplicator = new MessageDeduplicator(1 << 20, rate, Duration.ofMinutes(1), 4);
+        final long capacity = deduplicator.getCapacityPerWindow();
+        final long base = toSnowflake(1600000000000L, 0);
+        // fill a single window to 90% of its capacity, then offer fresh ids until it is at 110%
+        final long filled = capacity * 9 / 10;
+        final long queries = capacity / 5;
+        for (long i = 0; i < filled; i++) {
+            deduplicator.isDuplicate(base + i);
+        }
+        final long hitsBefore = deduplicator.getHits();
+        for (long i = 0; i < queries; i++) {
+            deduplicator.isDuplicate(base + filled + i);
+        }
+        final long falsePositives = deduplicator.getHits() - hitsBefore;
+        assertTrue(falsePositives <= 2 * rate * queries,
+                "Too many false positives: " + falsePositives + " of " + queries);
+    }
+
+    // Tests on getHitRate()
+
+    /*
+     * subdomains covered:
+     *   no lookups, some lookups
+     */
+    @Test
+    public void testGetHitRate() {
+        final MessageDeduplicator deduplicator = newDeduplicator();
+        assertEquals(0.0, deduplicator.getHitRate(), "Expected no hits before any lookups!");
+        deduplicator.isDuplicate(BASE_ID);
+        deduplicator.isDuplicate(BASE_ID);
+        assertEquals(2, deduplicator.getLookups(), "Expected two lookups!");
+        assertEquals(1, deduplicator.getHits(), "Expected one hit!");
+        assertEquals(0.5, deduplicator.getHitRate(), "Expected half the lookups to be hits!");
+    }
+}